@@ -0,0 +1,80 @@
+package com.quietterminal.pronounsplugin;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.messaging.PluginMessageListener;
+
+/**
+ * Broadcasts payloads to the other backends through the proxy's {@code BungeeCord} channel
+ * using {@code Forward ALL}. Plugin messages travel over a player connection, so a server with
+ * nobody online can neither send nor receive changes. Messages are sent on the carrying player's
+ * own thread.
+ */
+public class BukkitMessagingTransport implements PronounsSyncTransport, PluginMessageListener {
+    private static final String CHANNEL = "BungeeCord";
+    private static final String SUBCHANNEL = "PronounsSync";
+
+    private final JavaPlugin plugin;
+    private final PronounsScheduler scheduler;
+    private volatile Consumer<byte[]> receiver = payload -> {};
+
+    public BukkitMessagingTransport(JavaPlugin plugin, PronounsScheduler scheduler) {
+        this.plugin = plugin;
+        this.scheduler = scheduler;
+        plugin.getServer().getMessenger().registerOutgoingPluginChannel(plugin, CHANNEL);
+        plugin.getServer().getMessenger().registerIncomingPluginChannel(plugin, CHANNEL, this);
+    }
+
+    @Override
+    public void send(byte[] payload) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF("Forward");
+            out.writeUTF("ALL");
+            out.writeUTF(SUBCHANNEL);
+            out.writeShort(payload.length);
+            out.write(payload);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Could not encode pronouns sync message", e);
+            return;
+        }
+        byte[] message = bytes.toByteArray();
+        scheduler.runForAnyPlayer(carrier -> carrier.sendPluginMessage(plugin, CHANNEL, message));
+    }
+
+    @Override
+    public void onPluginMessageReceived(String channel, Player player, byte[] message) {
+        if (!CHANNEL.equals(channel)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(message))) {
+            if (!SUBCHANNEL.equals(in.readUTF())) {
+                return;
+            }
+            byte[] payload = new byte[in.readUnsignedShort()];
+            in.readFully(payload);
+            receiver.accept(payload);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.FINE, "Ignoring malformed plugin message", e);
+        }
+    }
+
+    @Override
+    public void setReceiver(Consumer<byte[]> receiver) {
+        this.receiver = receiver;
+    }
+
+    @Override
+    public void close() {
+        plugin.getServer().getMessenger().unregisterOutgoingPluginChannel(plugin, CHANNEL);
+        plugin.getServer().getMessenger().unregisterIncomingPluginChannel(plugin, CHANNEL, this);
+    }
+}
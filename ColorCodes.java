@@ -0,0 +1,131 @@
+package com.quietterminal.pronounsplugin;
+
+/**
+ * Table-driven, single-pass translation of legacy formatting codes. Each operation scans the
+ * input once into a single output buffer, instead of chaining {@code replace} calls or running
+ * regular expressions over the whole string.
+ */
+public final class ColorCodes {
+    public static final char SECTION = '§';
+    public static final char AMPERSAND = '&';
+
+    private static final int TABLE_SIZE = 128;
+    private static final String[] MINI_MESSAGE_TAGS = new String[TABLE_SIZE];
+    private static final boolean[] FORMAT_CODES = new boolean[TABLE_SIZE];
+    private static final boolean[] HEX_DIGITS = new boolean[TABLE_SIZE];
+
+    static {
+        String[][] tags = {
+                {"0", "<black>"}, {"1", "<dark_blue>"}, {"2", "<dark_green>"}, {"3", "<dark_aqua>"},
+                {"4", "<dark_red>"}, {"5", "<dark_purple>"}, {"6", "<gold>"}, {"7", "<gray>"},
+                {"8", "<dark_gray>"}, {"9", "<blue>"}, {"a", "<green>"}, {"b", "<aqua>"},
+                {"c", "<red>"}, {"d", "<light_purple>"}, {"e", "<yellow>"}, {"f", "<white>"},
+                {"k", "<obf>"}, {"l", "<b>"}, {"m", "<st>"}, {"n", "<u>"}, {"o", "<i>"}, {"r", "<reset>"}
+        };
+        for (String[] tag : tags) {
+            MINI_MESSAGE_TAGS[tag[0].charAt(0)] = tag[1];
+        }
+        for (char c : "0123456789abcdefklmnorx".toCharArray()) {
+            FORMAT_CODES[c] = true;
+            FORMAT_CODES[Character.toUpperCase(c)] = true;
+        }
+        for (char c : "0123456789abcdef".toCharArray()) {
+            HEX_DIGITS[c] = true;
+            HEX_DIGITS[Character.toUpperCase(c)] = true;
+        }
+    }
+
+    private ColorCodes() {
+    }
+
+    /**
+     * Replaces {@code &} with {@code §} wherever it starts a formatting code.
+     */
+    public static String translateAmpersand(String text) {
+        int first = text.indexOf(AMPERSAND);
+        if (first < 0) {
+            return text;
+        }
+        char[] chars = text.toCharArray();
+        for (int i = first; i < chars.length - 1; i++) {
+            if (chars[i] == AMPERSAND && isFormatCode(chars[i + 1])) {
+                chars[i] = SECTION;
+                i++;
+            }
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Converts lowercase {@code &} codes to their MiniMessage tags, leaving everything else untouched.
+     */
+    public static String legacyToMiniMessage(String text) {
+        int first = text.indexOf(AMPERSAND);
+        if (first < 0) {
+            return text;
+        }
+        int length = text.length();
+        StringBuilder result = new StringBuilder(length + 16);
+        result.append(text, 0, first);
+        for (int i = first; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == AMPERSAND && i + 1 < length) {
+                char code = text.charAt(i + 1);
+                String tag = code < TABLE_SIZE ? MINI_MESSAGE_TAGS[code] : null;
+                if (tag != null) {
+                    result.append(tag);
+                    i++;
+                    continue;
+                }
+            }
+            result.append(c);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Removes every {@code §} formatting code, including whole {@code §x§r§r§g§g§b§b} hex runs.
+     */
+    public static String strip(String text) {
+        int first = text.indexOf(SECTION);
+        if (first < 0) {
+            return text;
+        }
+        int length = text.length();
+        StringBuilder result = new StringBuilder(length);
+        result.append(text, 0, first);
+        for (int i = first; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == SECTION && i + 1 < length) {
+                char code = text.charAt(i + 1);
+                if ((code == 'x' || code == 'X') && isHexRun(text, i + 2)) {
+                    i += 13;
+                    continue;
+                }
+                if (code != 'x' && code != 'X' && isFormatCode(code)) {
+                    i++;
+                    continue;
+                }
+            }
+            result.append(c);
+        }
+        return result.toString();
+    }
+
+    private static boolean isHexRun(String text, int start) {
+        if (start + 12 > text.length()) {
+            return false;
+        }
+        for (int i = start; i < start + 12; i += 2) {
+            char digit = text.charAt(i + 1);
+            if (text.charAt(i) != SECTION || digit >= TABLE_SIZE || !HEX_DIGITS[digit]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isFormatCode(char c) {
+        return c < TABLE_SIZE && FORMAT_CODES[c];
+    }
+}
@@ -0,0 +1,101 @@
+package com.quietterminal.pronounsplugin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * In-process transport that delivers payloads to every other transport connected to the same
+ * {@link Hub}. Used to wire several sync instances together on a single machine; the hub can hold
+ * messages back and release them in either order to simulate concurrent edits.
+ */
+public class LoopbackSyncTransport implements PronounsSyncTransport {
+    private final Hub hub;
+    private volatile Consumer<byte[]> receiver = payload -> {};
+
+    private LoopbackSyncTransport(Hub hub) {
+        this.hub = hub;
+    }
+
+    @Override
+    public void send(byte[] payload) {
+        hub.dispatch(this, payload);
+    }
+
+    @Override
+    public void setReceiver(Consumer<byte[]> receiver) {
+        this.receiver = receiver;
+    }
+
+    @Override
+    public void close() {
+        hub.transports.remove(this);
+    }
+
+    public static class Hub {
+        private final Set<LoopbackSyncTransport> transports = new CopyOnWriteArraySet<>();
+        private final List<HeldMessage> held = new ArrayList<>();
+        private final AtomicInteger sent = new AtomicInteger();
+        private boolean holding = false;
+
+        public LoopbackSyncTransport connect() {
+            LoopbackSyncTransport transport = new LoopbackSyncTransport(this);
+            transports.add(transport);
+            return transport;
+        }
+
+        public int messagesSent() {
+            return sent.get();
+        }
+
+        /**
+         * Queues every message sent from now on until {@link #release(boolean)} is called.
+         */
+        public synchronized void hold() {
+            holding = true;
+        }
+
+        /**
+         * Delivers the queued messages in send order, or in reverse order, and stops holding.
+         */
+        public void release(boolean reversed) {
+            List<HeldMessage> messages;
+            synchronized (this) {
+                holding = false;
+                messages = new ArrayList<>(held);
+                held.clear();
+            }
+            if (reversed) {
+                Collections.reverse(messages);
+            }
+            for (HeldMessage message : messages) {
+                deliver(message.sender(), message.payload());
+            }
+        }
+
+        private void dispatch(LoopbackSyncTransport sender, byte[] payload) {
+            sent.incrementAndGet();
+            synchronized (this) {
+                if (holding) {
+                    held.add(new HeldMessage(sender, payload.clone()));
+                    return;
+                }
+            }
+            deliver(sender, payload);
+        }
+
+        private void deliver(LoopbackSyncTransport sender, byte[] payload) {
+            for (LoopbackSyncTransport peer : transports) {
+                if (peer != sender) {
+                    peer.receiver.accept(payload.clone());
+                }
+            }
+        }
+
+        private record HeldMessage(LoopbackSyncTransport sender, byte[] payload) {}
+    }
+}
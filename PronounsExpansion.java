@@ -1,16 +1,29 @@
 package com.quietterminal.pronounsplugin;
 
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class PronounsExpansion extends PlaceholderExpansion {
     private final PronounsPlugin plugin;
+    private final Map<UUID, Render> renders = new ConcurrentHashMap<>();
+    private final Set<UUID> quitting = ConcurrentHashMap.newKeySet();
+    private static final Snapshot LOADING_SNAPSHOT = new Snapshot(0L, Collections.emptyMap());
+
+    private final AtomicLong generation = new AtomicLong(1L);
+    private volatile Snapshot lastSnapshot;
 
     public PronounsExpansion(PronounsPlugin plugin) {
         this.plugin = plugin;
@@ -44,69 +57,178 @@ public class PronounsExpansion extends PlaceholderExpansion {
     @Override
     public @Nullable String onPlaceholderRequest(Player player, @NotNull String identifier) {
         if (player == null) return "";
+        return resolve(render(player.getUniqueId()), identifier);
+    }
+
+    /**
+     * Resolves one identifier for many players at once, e.g. for a tab list or sidebar refresh.
+     * The result is in iteration order of {@code players}.
+     */
+    public String[] resolveAll(@NotNull Collection<? extends Player> players, @NotNull String identifier) {
+        String[] results = new String[players.size()];
+        int i = 0;
+        for (Player player : players) {
+            results[i++] = player == null ? "" : resolve(render(player.getUniqueId()), identifier);
+        }
+        return results;
+    }
+
+    /**
+     * Returns the rendered pronouns of every online player, leaving out players who are quitting
+     * but have not been removed from the online list yet. The snapshot is only rebuilt after the
+     * generation has moved, so consumers can skip a refresh when it matches the last one they saw.
+     * While pronoun data is still loading an empty snapshot with generation 0 is returned.
+     */
+    public @NotNull Snapshot snapshot() {
+        if (!plugin.isDataLoaded()) {
+            return LOADING_SNAPSHOT;
+        }
+        Snapshot last = lastSnapshot;
+        if (last != null && last.generation() == generation.get()) {
+            return last;
+        }
+        synchronized (this) {
+            long current = generation.get();
+            last = lastSnapshot;
+            if (last != null && last.generation() == current) {
+                return last;
+            }
+            quitting.removeIf(uuid -> Bukkit.getPlayer(uuid) == null);
+            Map<UUID, Render> online = new HashMap<>();
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                if (quitting.contains(player.getUniqueId())) {
+                    continue;
+                }
+                Render render = render(player.getUniqueId());
+                if (render != null) {
+                    online.put(player.getUniqueId(), render);
+                }
+            }
+            lastSnapshot = new Snapshot(current, Collections.unmodifiableMap(online));
+            return lastSnapshot;
+        }
+    }
+
+    /**
+     * Drops the cached render for a player and advances the snapshot generation. Called whenever
+     * the player's stored pronouns change.
+     */
+    public void invalidate(UUID uuid) {
+        renders.remove(uuid);
+        generation.incrementAndGet();
+    }
+
+    public void playerJoined(UUID uuid) {
+        quitting.remove(uuid);
+        invalidate(uuid);
+    }
+
+    /**
+     * The quit event fires while the player is still online, so they are marked as quitting
+     * before the generation moves; otherwise the next snapshot would still include them.
+     */
+    public void playerQuit(UUID uuid) {
+        quitting.add(uuid);
+        invalidate(uuid);
+    }
+
+    public void invalidateAll() {
+        renders.clear();
+        generation.incrementAndGet();
+    }
 
-        Map<UUID, String> data = plugin.getPronounsData();
-        String stored = data.get(player.getUniqueId());
+    private @Nullable Render render(UUID uuid) {
+        if (!plugin.isDataLoaded()) {
+            return null;
+        }
+        String stored = plugin.getPronounsData().get(uuid);
+        Render cached = renders.get(uuid);
         if (stored == null || stored.isEmpty()) {
+            if (cached != null && renders.remove(uuid, cached)) {
+                generation.incrementAndGet();
+            }
+            return null;
+        }
+        if (cached != null && cached.source().equals(stored)) {
+            return cached;
+        }
+        Render render = Render.of(stored);
+        renders.put(uuid, render);
+        if (cached != null) {
+            generation.incrementAndGet();
+        }
+        return render;
+    }
+
+    private static @Nullable String resolve(@Nullable Render render, @NotNull String identifier) {
+        if (render == null) {
             if (identifier.startsWith("or:")) return identifier.substring(3);
             if (identifier.startsWith("raw_or:")) return identifier.substring(7);
             if (identifier.startsWith("fullraw_or:")) return identifier.substring(11);
             return "";
         }
-
-        String colorName = "GRAY";
-        String pronouns = "";
-        if (stored.contains(":")) {
-            String[] parts = stored.split(":", 2);
-            colorName = parts[0];
-            pronouns = parts[1];
+        if (render.fullraw().isEmpty()) {
+            return "";
         }
+        return switch (identifier) {
+            case "" -> render.brackets();
+            case "raw" -> render.raw();
+            case "colorless" -> render.colorless();
+            case "fullraw" -> render.fullraw();
+            case "lowercase" -> render.lower();
+            case "uppercase" -> render.upper();
+            case "capitalized" -> render.capitalized();
+            case "short" -> render.shortForm();
+            case "parentheses" -> render.parentheses();
+            case "parentheses_colorless" -> render.parenthesesColorless();
+            default -> {
+                if (identifier.startsWith("or:")) yield render.brackets();
+                if (identifier.startsWith("raw_or:")) yield render.raw();
+                if (identifier.startsWith("fullraw_or:")) yield render.fullraw();
+                yield null;
+            }
+        };
+    }
 
-        ChatColor color = ChatColor.GRAY;
-        try {
-            color = ChatColor.valueOf(colorName);
-        } catch (IllegalArgumentException ignored) {}
+    /**
+     * Every placeholder variant for one stored value, built once and reused until the value changes.
+     */
+    public record Render(String source, String brackets, String raw, String colorless, String fullraw, String lower,
+                         String upper, String capitalized, String shortForm, String parentheses, String parenthesesColorless) {
+
+        static Render of(String stored) {
+            String colorName = "GRAY";
+            String pronouns = "";
+            if (stored.contains(":")) {
+                String[] parts = stored.split(":", 2);
+                colorName = parts[0];
+                pronouns = parts[1];
+            }
 
-        if (pronouns.isEmpty()) {
-            return "";
+            ChatColor color = ChatColor.GRAY;
+            try {
+                color = ChatColor.valueOf(colorName);
+            } catch (IllegalArgumentException ignored) {}
+
+            String plainPronouns = ColorCodes.strip(pronouns);
+            String brackets = color + "[" + pronouns + "]" + ChatColor.RESET;
+            String colorless = ChatColor.WHITE + "[" + plainPronouns + "]" + ChatColor.RESET;
+            String raw = color + pronouns + ChatColor.RESET;
+            String shortForm = pronouns.contains("/") ? pronouns.split("/")[0] : pronouns;
+            return new Render(stored, brackets, raw, colorless, pronouns, brackets.toLowerCase(), brackets.toUpperCase(),
+                    capitalizePronouns(pronouns, color), shortForm, "(" + raw + ")", "(" + plainPronouns + ")");
         }
 
-        String brackets = color + "[" + pronouns + "]" + ChatColor.RESET;
-        String colorless = ChatColor.WHITE + "[" + pronouns + "]" + ChatColor.RESET;
-        String raw = color + pronouns + ChatColor.RESET;
-        String fullraw = pronouns;
-        String lower = brackets.toLowerCase();
-        String upper = brackets.toUpperCase();
-        String cap = capitalizePronouns(pronouns, color);
-        String shortForm = pronouns.contains("/") ? pronouns.split("/")[0] : pronouns;
-        String parentheses = "(" + raw + ")";
-        String parenthesesColorless = "(" + fullraw + ")";
-
-        if (identifier.equals("")) return brackets;
-        if (identifier.equals("raw")) return raw;
-        if (identifier.equals("colorless")) return colorless;
-        if (identifier.equals("fullraw")) return fullraw;
-        if (identifier.equals("lowercase")) return lower;
-        if (identifier.equals("uppercase")) return upper;
-        if (identifier.equals("capitalized")) return cap;
-        if (identifier.equals("short")) return shortForm;
-        if (identifier.equals("parentheses")) return parentheses;
-        if (identifier.equals("parentheses_colorless")) return parenthesesColorless;
-
-        if (identifier.startsWith("or:")) return brackets.isEmpty() ? identifier.substring(3) : brackets;
-        if (identifier.startsWith("raw_or:")) return raw.isEmpty() ? identifier.substring(7) : raw;
-        if (identifier.startsWith("fullraw_or:")) return fullraw.isEmpty() ? identifier.substring(11) : fullraw;
-
-        return null;
-    }
-
-    private String capitalizePronouns(String pronouns, ChatColor color) {
-        String[] words = pronouns.split("/");
-        for (int i = 0; i < words.length; i++) {
-            if (words[i].length() > 0) {
-                words[i] = words[i].substring(0, 1).toUpperCase() + words[i].substring(1).toLowerCase();
+        private static String capitalizePronouns(String pronouns, ChatColor color) {
+            String[] words = pronouns.split("/");
+            for (int i = 0; i < words.length; i++) {
+                if (words[i].length() > 0) {
+                    words[i] = words[i].substring(0, 1).toUpperCase() + words[i].substring(1).toLowerCase();
+                }
             }
+            return color + "[" + String.join("/", words) + "]" + ChatColor.RESET;
         }
-        return color + "[" + String.join("/", words) + "]" + ChatColor.RESET;
     }
+
+    public record Snapshot(long generation, Map<UUID, Render> renders) {}
 }
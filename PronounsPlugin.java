@@ -8,7 +8,9 @@ import java.lang.reflect.Type;
 import java.nio.file.Files;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -37,8 +39,18 @@ import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 public class PronounsPlugin extends JavaPlugin implements Listener {
     private Map<UUID, String> pronounsData;
     private File pronounsFile;
+    private File syncVersionsFile;
     private final Gson gson = new Gson();
     private volatile boolean saveScheduled = false;
+    private final ReentrantLock saveLock = new ReentrantLock();
+    private volatile boolean dataLoaded = false;
+    private final Object loadLock = new Object();
+    private final Set<UUID> pendingJoins = new HashSet<>();
+    private final Map<UUID, Boolean> writesDuringLoad = new HashMap<>();
+    private CompletableFuture<Void> loadFuture;
+    private PronounsSync sync;
+    private PronounsExpansion placeholderExpansion;
+    private PronounsScheduler scheduler;
     private static final Pattern HEX_PATTERN = Pattern.compile("^#[a-fA-F0-9]{6}$");
     private static final List<String> AVAILABLE_COLORS = NamedTextColor.NAMES.keys().stream().toList();
     private BukkitAudiences adventure;
@@ -51,13 +63,24 @@ public class PronounsPlugin extends JavaPlugin implements Listener {
     public void onEnable() {
         getLogger().info("Enabling PronounsPlugin...");
         detectServerType();
+        scheduler = new PronounsScheduler(this, isFolia);
         saveDefaultConfig();
         pronounsFile = new File(getDataFolder(), "pronouns.json");
+        syncVersionsFile = new File(getDataFolder(), "pronouns-sync.dat");
         pronounsData = new ConcurrentHashMap<>();
-        loadPronounsDataAsync().thenRun(() -> {
-            getLogger().info("Pronouns data loaded successfully!");
-        }).exceptionally(throwable -> {
-            getLogger().log(Level.SEVERE, "Failed to load pronouns data: {0}", throwable.getMessage());
+        setupSync();
+        long loadStart = System.nanoTime();
+        CompletableFuture<byte[]> syncVersions = sync != null
+                ? scheduler.supplyAsync(this::readSyncVersions)
+                : CompletableFuture.completedFuture(null);
+        loadFuture = loadPronounsDataAsync().thenCombine(syncVersions, (loadedData, versions) -> {
+            importSyncVersions(versions);
+            return loadedData;
+        }).handle((loadedData, throwable) -> {
+            if (throwable != null) {
+                getLogger().log(Level.SEVERE, "Failed to load pronouns data: {0}", throwable.getMessage());
+            }
+            completeLoading(loadedData, loadStart);
             return null;
         });
         var pronounsCommand = getCommand("pronouns");
@@ -69,7 +92,8 @@ public class PronounsPlugin extends JavaPlugin implements Listener {
         }
         getServer().getPluginManager().registerEvents(this, this);
         if (Bukkit.getPluginManager().isPluginEnabled("PlaceholderAPI")) {
-            new PronounsExpansion(this).register();
+            placeholderExpansion = new PronounsExpansion(this);
+            placeholderExpansion.register();
             getLogger().info("PlaceholderAPI found. Registered %pronouns_pronouns%");
         } else {
             getLogger().warning("PlaceholderAPI not found! Pronoun placeholders will not work.");
@@ -79,6 +103,22 @@ public class PronounsPlugin extends JavaPlugin implements Listener {
         getLogger().info("Running on " + (isFolia ? "Folia" : (isPaperServer ? "Paper" : "Spigot")) + " - compatibility mode enabled");
     }
 
+    private void setupSync() {
+        if (!getConfig().getBoolean("sync.enabled", false)) {
+            return;
+        }
+        String serverId = getConfig().getString("sync.server-id", "");
+        if (serverId == null || serverId.isEmpty()) {
+            serverId = UUID.randomUUID().toString();
+        }
+        String transportName = getConfig().getString("sync.transport", "bungee").toLowerCase();
+        if (!transportName.equals("bungee")) {
+            getLogger().warning("Unknown sync.transport '" + transportName + "', using 'bungee'");
+        }
+        sync = new PronounsSync(new BukkitMessagingTransport(this, scheduler), serverId, getLogger(), this::applyRemotePronouns);
+        getLogger().info("Cross-server pronoun sync enabled as '" + serverId + "'");
+    }
+
     private void detectServerType() {
         try {
             Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
@@ -100,7 +140,21 @@ public class PronounsPlugin extends JavaPlugin implements Listener {
 
     @Override
     public void onDisable() {
+        if (sync != null) {
+            sync.close();
+        }
+        if (!dataLoaded && loadFuture != null) {
+            try {
+                loadFuture.join();
+            } catch (CompletionException e) {
+                getLogger().log(Level.WARNING, "Pronouns data was still loading during shutdown", e);
+            }
+        }
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
         savePronounsDataSync();
+        sync = null;
         if (this.adventure != null) {
             this.adventure.close();
             this.adventure = null;
@@ -109,23 +163,210 @@ public class PronounsPlugin extends JavaPlugin implements Listener {
 
     @EventHandler
     public void onPlayerQuit(PlayerQuitEvent event) {
+        if (placeholderExpansion != null) {
+            placeholderExpansion.playerQuit(event.getPlayer().getUniqueId());
+        }
         scheduleSave();
     }
 
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
-        if (isFolia) {
-            Bukkit.getRegionScheduler().run(this, player.getLocation(), task -> updatePlayerName(player));
-        } else {
-            Bukkit.getScheduler().runTask(this, () -> updatePlayerName(player));
+        if (placeholderExpansion != null) {
+            placeholderExpansion.playerJoined(player.getUniqueId());
         }
+        if (!dataLoaded) {
+            synchronized (loadLock) {
+                if (!dataLoaded) {
+                    pendingJoins.add(player.getUniqueId());
+                    return;
+                }
+            }
+        }
+        requestSyncCatchUp(player.getUniqueId());
+        scheduler.runForEntity(player, () -> updatePlayerName(player));
     }
 
     public Map<UUID, String> getPronounsData() {
         return pronounsData;
     }
 
+    public PronounsExpansion getPlaceholderExpansion() {
+        return placeholderExpansion;
+    }
+
+    public boolean isDataLoaded() {
+        return dataLoaded;
+    }
+
+    // Writes made while loading are newer than the file, so they win over the loaded entries.
+    private void completeLoading(Map<UUID, String> loadedData, long loadStart) {
+        List<UUID> queuedJoins;
+        int mergedWrites;
+        Set<UUID> unpublished = new HashSet<>();
+        synchronized (loadLock) {
+            if (loadedData != null) {
+                loadedData.forEach((uuid, value) -> {
+                    if (uuid != null && value != null && !writesDuringLoad.containsKey(uuid)) {
+                        pronounsData.put(uuid, value);
+                    }
+                });
+            }
+            writesDuringLoad.forEach((uuid, local) -> {
+                String value = pronounsData.get(uuid);
+                boolean existedOnDisk = loadedData != null && loadedData.get(uuid) != null;
+                if (local && (value != null || existedOnDisk)) {
+                    unpublished.add(uuid);
+                }
+            });
+            mergedWrites = writesDuringLoad.size();
+            writesDuringLoad.clear();
+            queuedJoins = new ArrayList<>(pendingJoins);
+            pendingJoins.clear();
+            dataLoaded = true;
+        }
+        long elapsedMs = (System.nanoTime() - loadStart) / 1_000_000L;
+        getLogger().info("Pronouns data loaded in " + elapsedMs + "ms (" + pronounsData.size() + " entries, "
+                + queuedJoins.size() + " queued joins, " + mergedWrites + " writes during load)");
+        if (placeholderExpansion != null) {
+            placeholderExpansion.invalidateAll();
+        }
+        PronounsSync currentSync = sync;
+        if (currentSync != null) {
+            unpublished.forEach(uuid -> currentSync.publish(uuid, () -> pronounsData.get(uuid)));
+            currentSync.start();
+        }
+        if (!queuedJoins.isEmpty()) {
+            applyQueuedJoins(queuedJoins);
+        }
+        if (mergedWrites > 0) {
+            scheduleSave();
+        }
+    }
+
+    private void applyQueuedJoins(List<UUID> queuedJoins) {
+        List<Player> players = new ArrayList<>();
+        for (UUID uuid : queuedJoins) {
+            Player player = Bukkit.getPlayer(uuid);
+            if (player != null) {
+                players.add(player);
+                requestSyncCatchUp(uuid);
+            }
+        }
+        scheduler.runForEntities(players, player -> {
+            if (player.isOnline()) {
+                updatePlayerName(player);
+            }
+        });
+    }
+
+    private void putPronouns(UUID uuid, String value) {
+        if (writeDuringLoad(uuid, value, true)) {
+            return;
+        }
+        PronounsSync currentSync = sync;
+        if (currentSync != null) {
+            currentSync.publish(uuid, () -> {
+                pronounsData.put(uuid, value);
+                return value;
+            });
+        } else {
+            pronounsData.put(uuid, value);
+        }
+        invalidatePlaceholders(uuid);
+    }
+
+    private void removePronouns(UUID uuid) {
+        if (writeDuringLoad(uuid, null, true)) {
+            return;
+        }
+        PronounsSync currentSync = sync;
+        boolean removed = currentSync != null
+                ? currentSync.publishRemoval(uuid, () -> pronounsData.remove(uuid) != null)
+                : pronounsData.remove(uuid) != null;
+        if (removed) {
+            invalidatePlaceholders(uuid);
+        }
+    }
+
+    // Remote changes are never re-broadcast; locally they only refresh the rendered name.
+    private void applyRemotePronouns(UUID uuid, String value) {
+        if (!writeDuringLoad(uuid, value, false)) {
+            if (value == null) {
+                pronounsData.remove(uuid);
+            } else {
+                pronounsData.put(uuid, value);
+            }
+        }
+        invalidateRender(uuid);
+        scheduleSave();
+    }
+
+    private void requestSyncCatchUp(UUID uuid) {
+        PronounsSync currentSync = sync;
+        if (currentSync != null) {
+            scheduler.runAsyncLater(() -> currentSync.requestLatest(uuid), 20L);
+        }
+    }
+
+    private byte[] readSyncVersions() {
+        if (!syncVersionsFile.exists()) {
+            return null;
+        }
+        try {
+            return Files.readAllBytes(syncVersionsFile.toPath());
+        } catch (IOException e) {
+            getLogger().log(Level.WARNING, "Could not read pronouns-sync.dat, remote answers may override loaded pronouns", e);
+            return null;
+        }
+    }
+
+    private void importSyncVersions(byte[] versions) {
+        PronounsSync currentSync = sync;
+        if (currentSync == null || versions == null) {
+            return;
+        }
+        try {
+            currentSync.importVersions(versions);
+        } catch (IOException e) {
+            getLogger().log(Level.WARNING, "Could not parse pronouns-sync.dat", e);
+        }
+    }
+
+    private void invalidatePlaceholders(UUID uuid) {
+        if (placeholderExpansion != null) {
+            placeholderExpansion.invalidate(uuid);
+        }
+    }
+
+    private void invalidateRender(UUID uuid) {
+        invalidatePlaceholders(uuid);
+        if (!dataLoaded) {
+            return;
+        }
+        Player player = Bukkit.getPlayer(uuid);
+        if (player != null) {
+            scheduler.runForEntity(player, () -> updatePlayerName(player));
+        }
+    }
+
+    private boolean writeDuringLoad(UUID uuid, String value, boolean local) {
+        if (!dataLoaded) {
+            synchronized (loadLock) {
+                if (!dataLoaded) {
+                    writesDuringLoad.put(uuid, local);
+                    if (value == null) {
+                        pronounsData.remove(uuid);
+                    } else {
+                        pronounsData.put(uuid, value);
+                    }
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         if (args.length < 1) {
@@ -181,11 +422,14 @@ public class PronounsPlugin extends JavaPlugin implements Listener {
     private boolean handleRemoveCommand(CommandSender sender, String[] args) {
         if (args.length < 2) {
             if (sender instanceof Player player) {
-                if (pronounsData.containsKey(player.getUniqueId())) {
-                    pronounsData.remove(player.getUniqueId());
+                if (!dataLoaded) {
+                    removePronouns(player.getUniqueId());
+                    sendMsg(sender, "<yellow>Pronoun data is still loading. Any pronouns you have set will be cleared once it finishes.");
+                } else if (pronounsData.containsKey(player.getUniqueId())) {
+                    removePronouns(player.getUniqueId());
                     String message = getConfig().getString("messages.pronouns-removed", "&aYour pronouns have been removed.");
                     sendMsg(sender, message);
-                    updatePlayerName(player);
+                    scheduler.runForEntity(player, () -> updatePlayerName(player));
                     scheduleSave();
                 } else {
                     sendMsg(sender, "<red>You have no pronouns set.");
@@ -198,10 +442,13 @@ public class PronounsPlugin extends JavaPlugin implements Listener {
         if (sender.isOp()) {
             Player target = Bukkit.getPlayer(args[1]);
             if (target != null) {
-                if (pronounsData.containsKey(target.getUniqueId())) {
-                    pronounsData.remove(target.getUniqueId());
+                if (!dataLoaded) {
+                    removePronouns(target.getUniqueId());
+                    sendMsg(sender, "<yellow>Pronoun data is still loading. Any pronouns set for " + target.getName() + " will be cleared once it finishes.");
+                } else if (pronounsData.containsKey(target.getUniqueId())) {
+                    removePronouns(target.getUniqueId());
                     sendMsg(sender, "<green>Removed pronouns for " + target.getName());
-                    updatePlayerName(target);
+                    scheduler.runForEntity(target, () -> updatePlayerName(target));
                     scheduleSave();
                 } else {
                     sendMsg(sender, "<red>" + target.getName() + " has no pronouns set.");
@@ -230,12 +477,12 @@ public class PronounsPlugin extends JavaPlugin implements Listener {
             sendMsg(player, message);
             return false;
         }
-        pronounsData.put(player.getUniqueId(), color.toString() + ":" + pronouns);
+        putPronouns(player.getUniqueId(), color.toString() + ":" + pronouns);
         String baseMessage = getConfig().getString("messages.pronouns-set", "&aYour pronouns have been set to: {pronouns}");
         String formattedMessage = baseMessage.replace("{pronouns}", "[" + pronouns + "]");
-        formattedMessage = convertLegacyToMiniMessage(formattedMessage);
+        formattedMessage = ColorCodes.legacyToMiniMessage(formattedMessage);
         sendMsg(player, formattedMessage);
-        updatePlayerName(player);
+        scheduler.runForEntity(player, () -> updatePlayerName(player));
         scheduleSave();
         return true;
     }
@@ -302,13 +549,13 @@ public class PronounsPlugin extends JavaPlugin implements Listener {
             return false;
         }
         String gradientText = applyGradient(pronouns, colors);
-        pronounsData.put(player.getUniqueId(), "GRADIENT:" + gradientText);
+        putPronouns(player.getUniqueId(), "GRADIENT:" + gradientText);
         String message = getConfig().getString("messages.gradient-applied", "&aApplied gradient to your pronouns:");
         sendMsg(player, message);
         if (getConfig().getBoolean("gradient.show-preview", true)) {
             sendMsg(player, gradientText);
         }
-        updatePlayerName(player);
+        scheduler.runForEntity(player, () -> updatePlayerName(player));
         scheduleSave();
         return true;
     }
@@ -323,32 +570,6 @@ public class PronounsPlugin extends JavaPlugin implements Listener {
         return true;
     }
 
-    private String convertLegacyToMiniMessage(String message) {
-        return message
-                .replace("&0", "<black>")
-                .replace("&1", "<dark_blue>")
-                .replace("&2", "<dark_green>")
-                .replace("&3", "<dark_aqua>")
-                .replace("&4", "<dark_red>")
-                .replace("&5", "<dark_purple>")
-                .replace("&6", "<gold>")
-                .replace("&7", "<gray>")
-                .replace("&8", "<dark_gray>")
-                .replace("&9", "<blue>")
-                .replace("&a", "<green>")
-                .replace("&b", "<aqua>")
-                .replace("&c", "<red>")
-                .replace("&d", "<light_purple>")
-                .replace("&e", "<yellow>")
-                .replace("&f", "<white>")
-                .replace("&k", "<obf>")
-                .replace("&l", "<b>")
-                .replace("&m", "<st>")
-                .replace("&n", "<u>")
-                .replace("&o", "<i>")
-                .replace("&r", "<reset>");
-    }
-
     @SuppressWarnings("null")
     private void sendMsg(CommandSender sender, String msg) {
         if (sender instanceof Player player) {
@@ -377,7 +598,7 @@ public class PronounsPlugin extends JavaPlugin implements Listener {
 
     private String convertToLegacyString(String msg) {
         if (msg.contains("&") || msg.contains("§")) {
-            return msg.replace('&', '§');
+            return ColorCodes.translateAmpersand(msg);
         } else {
             try {
                 Component component = MiniMessage.miniMessage().deserialize(msg);
@@ -443,12 +664,6 @@ public class PronounsPlugin extends JavaPlugin implements Listener {
         return new Color(r, g, b);
     }
 
-    private String stripAllColors(String text) {
-        text = text.replaceAll("§x(§[0-9a-f]){6}", "");
-        text = text.replaceAll("§[0-9a-fk-or]", "");
-        return text;
-    }
-
     private Map<String, String> getGradientPresets() {
         Map<String, String> presets = new HashMap<>();
         if (getConfig().isConfigurationSection("gradient.presets")) {
@@ -466,25 +681,21 @@ public class PronounsPlugin extends JavaPlugin implements Listener {
     }
 
     private void scheduleSave() {
+        if (!dataLoaded) {
+            return;
+        }
         if (!saveScheduled && getConfig().getBoolean("general.auto-save", true)) {
             saveScheduled = true;
             long delayTicks = getConfig().getLong("general.save-delay", 1) * 20L;
-            if (isFolia) {
-                Bukkit.getGlobalRegionScheduler().runDelayed(this, task -> {
-                    savePronounsDataAsync();
-                    saveScheduled = false;
-                }, delayTicks);
-            } else {
-                Bukkit.getScheduler().runTaskLaterAsynchronously(this, () -> {
-                    savePronounsDataAsync();
-                    saveScheduled = false;
-                }, delayTicks);
-            }
+            scheduler.runAsyncLater(() -> {
+                saveScheduled = false;
+                savePronounsDataSync();
+            }, delayTicks);
         }
     }
 
-    private CompletableFuture<Void> loadPronounsDataAsync() {
-        return CompletableFuture.runAsync(() -> {
+    private CompletableFuture<Map<UUID, String>> loadPronounsDataAsync() {
+        return scheduler.supplyAsync(() -> {
             if (!pronounsFile.exists()) {
                 try {
                     getDataFolder().mkdirs();
@@ -493,45 +704,43 @@ public class PronounsPlugin extends JavaPlugin implements Listener {
                 } catch (IOException e) {
                     getLogger().severe("Could not create pronouns.json file!");
                     getLogger().log(Level.SEVERE, "Exception:", e);
-                    return;
+                    return null;
                 }
             }
             try {
                 String content = new String(Files.readAllBytes(pronounsFile.toPath()));
                 Type type = new TypeToken<Map<UUID, String>>(){}.getType();
-                Map<UUID, String> loadedData = gson.fromJson(content, type);
-                if (loadedData != null) {
-                    pronounsData.putAll(loadedData);
-                }
+                return gson.fromJson(content, type);
             } catch (IOException e) {
                 getLogger().severe("Could not read pronouns.json file!");
                 getLogger().log(Level.SEVERE, "Exception:", e);
+                return null;
             }
         });
     }
 
-    private void savePronounsDataAsync() {
-        CompletableFuture.runAsync(() -> {
-            try {
-                String json = gson.toJson(pronounsData);
-                Files.write(pronounsFile.toPath(), json.getBytes());
-            } catch (IOException e) {
-                getLogger().severe("Could not save pronouns.json file!");
-                getLogger().log(Level.SEVERE, "Exception:", e);
-            }
-        });
-    }
-
+    // A ReentrantLock rather than synchronized, so a virtual thread blocked on file I/O does not pin its carrier.
     private void savePronounsDataSync() {
+        saveLock.lock();
         try {
-            String json = gson.toJson(pronounsData);
-            Files.write(pronounsFile.toPath(), json.getBytes());
+            PronounsSync currentSync = sync;
+            SaveData data = currentSync == null
+                    ? new SaveData(gson.toJson(pronounsData), null)
+                    : currentSync.underLock(() -> new SaveData(gson.toJson(pronounsData), currentSync.exportVersions()));
+            Files.write(pronounsFile.toPath(), data.json().getBytes());
+            if (data.syncVersions() != null) {
+                Files.write(syncVersionsFile.toPath(), data.syncVersions());
+            }
         } catch (IOException e) {
             getLogger().severe("Could not save pronouns.json file!");
             getLogger().log(Level.SEVERE, "Exception:", e);
+        } finally {
+            saveLock.unlock();
         }
     }
 
+    private record SaveData(String json, byte[] syncVersions) {}
+
     @SuppressWarnings("deprecation")
     private void updatePlayerName(Player player) {
         if (!getConfig().getBoolean("general.update-display-names", true)) {
@@ -546,7 +755,7 @@ public class PronounsPlugin extends JavaPlugin implements Listener {
                 String gradientText = storedData.substring(9);
                 Component gradientComponent = LegacyComponentSerializer.legacySection().deserialize(gradientText);
                 formattedName = Component.text("[").append(gradientComponent).append(Component.text("] ")).append(Component.text(playerName));
-                tabListName = Component.text(playerName).append(Component.text(" [")).append(Component.text(stripAllColors(gradientText))).append(Component.text("]"));
+                tabListName = Component.text(playerName).append(Component.text(" [")).append(Component.text(ColorCodes.strip(gradientText))).append(Component.text("]"));
             } else {
                 String[] parts = storedData.split(":", 2);
                 NamedTextColor color = NamedTextColor.NAMES.value(parts[0].toLowerCase());
@@ -0,0 +1,151 @@
+package com.quietterminal.pronounsplugin;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+
+/**
+ * Routes plugin work to the right thread. Anything that touches a player goes through the
+ * player's own entity scheduler on Folia (or the main thread elsewhere), and all file I/O runs
+ * on a plugin-owned executor so it never touches the global region or the Bukkit scheduler.
+ */
+public class PronounsScheduler {
+    private static final long MILLIS_PER_TICK = 50L;
+
+    private final JavaPlugin plugin;
+    private final boolean folia;
+    private final ExecutorService ioExecutor;
+
+    public PronounsScheduler(JavaPlugin plugin, boolean folia) {
+        this.plugin = plugin;
+        this.folia = folia;
+        this.ioExecutor = createIoExecutor();
+    }
+
+    /**
+     * Runs a task that mutates the given player on the thread that owns them.
+     */
+    public void runForEntity(Player player, Runnable task) {
+        if (!plugin.isEnabled()) {
+            return;
+        }
+        if (folia) {
+            player.getScheduler().run(plugin, scheduledTask -> task.run(), null);
+        } else {
+            Bukkit.getScheduler().runTask(plugin, task);
+        }
+    }
+
+    /**
+     * Applies an action to many players. On Folia each player is handled on their own entity
+     * scheduler; elsewhere the whole batch runs as a single main-thread task.
+     */
+    public void runForEntities(Collection<? extends Player> players, Consumer<Player> action) {
+        if (!plugin.isEnabled() || players.isEmpty()) {
+            return;
+        }
+        if (folia) {
+            for (Player player : players) {
+                runForEntity(player, () -> action.accept(player));
+            }
+        } else {
+            List<Player> batch = new ArrayList<>(players);
+            Bukkit.getScheduler().runTask(plugin, () -> batch.forEach(action));
+        }
+    }
+
+    /**
+     * Runs an action with some online player on that player's thread, e.g. to carry a plugin
+     * message. Nothing runs if nobody is online.
+     */
+    public void runForAnyPlayer(Consumer<Player> action) {
+        if (!plugin.isEnabled()) {
+            return;
+        }
+        if (folia) {
+            Player carrier = Bukkit.getOnlinePlayers().stream().findFirst().orElse(null);
+            if (carrier != null) {
+                runForEntity(carrier, () -> action.accept(carrier));
+            }
+        } else {
+            Bukkit.getScheduler().runTask(plugin, () -> Bukkit.getOnlinePlayers().stream().findFirst().ifPresent(action));
+        }
+    }
+
+    public void runAsync(Runnable task) {
+        if (!ioExecutor.isShutdown()) {
+            ioExecutor.execute(task);
+        }
+    }
+
+    /**
+     * Runs a task on the I/O executor once the delay has passed. The delay is tracked by the JDK's
+     * shared timer, which hands the task straight to the I/O executor without an extra thread hop.
+     */
+    public void runAsyncLater(Runnable task, long delayTicks) {
+        if (ioExecutor.isShutdown()) {
+            return;
+        }
+        Executor delayed = CompletableFuture.delayedExecutor(delayTicks * MILLIS_PER_TICK, TimeUnit.MILLISECONDS, this::runAsync);
+        delayed.execute(task);
+    }
+
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, ioExecutor);
+    }
+
+    /**
+     * Stops accepting work and waits briefly for pending I/O so a final synchronous save
+     * does not race with an in-flight one. Delayed tasks that have not started are dropped.
+     */
+    public void shutdown() {
+        ioExecutor.shutdown();
+        try {
+            if (!ioExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Timed out waiting for pending pronouns I/O to finish");
+                ioExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            ioExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ExecutorService createIoExecutor() {
+        try {
+            Method virtualExecutor = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            ExecutorService executor = (ExecutorService) virtualExecutor.invoke(null);
+            plugin.getLogger().info("Using virtual threads for pronouns I/O");
+            return executor;
+        } catch (NoSuchMethodException ignored) {
+            return Executors.newCachedThreadPool(namedDaemonThreads("PronounsPlugin-IO"));
+        } catch (ReflectiveOperationException e) {
+            plugin.getLogger().log(Level.WARNING, "Could not create virtual thread executor, using platform threads", e);
+            return Executors.newCachedThreadPool(namedDaemonThreads("PronounsPlugin-IO"));
+        }
+    }
+
+    private static ThreadFactory namedDaemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
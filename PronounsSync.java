@@ -0,0 +1,312 @@
+package com.quietterminal.pronounsplugin;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps {@code pronounsData} consistent across servers. Every local change is broadcast as a
+ * compact event (UUID, version vector, stored style) and every remote event is resolved against
+ * the local version vector for that player before being handed to the remote applier. Local
+ * writes and the remote applier both run under the same lock as the version update, so the
+ * stored value always matches the version this server would broadcast for it.
+ * <p>
+ * A server that missed events, for example because it had nobody online, catches up by sending
+ * a request carrying its own version vector for a player when they join; only peers holding an
+ * entry the requester has not seen answer, so an up-to-date server gets no replies at all.
+ * Version vectors are saved next to {@code pronouns.json} and imported before any message is
+ * received, so a restarted server can tell an older answer from the value it loaded from disk.
+ * Versions are taken from a per-server clock that never runs behind wall-clock time, so
+ * counters keep increasing across restarts without persisting the clock itself.
+ */
+public class PronounsSync {
+    private static final byte PROTOCOL_VERSION = 1;
+    private static final byte TYPE_CHANGE = 0;
+    private static final byte TYPE_REQUEST = 1;
+
+    private final PronounsSyncTransport transport;
+    private final String serverId;
+    private final Logger logger;
+    private final BiConsumer<UUID, String> remoteApplier;
+    private final Map<UUID, VersionedEntry> versions = new HashMap<>();
+    private long clock = 0L;
+
+    public PronounsSync(PronounsSyncTransport transport, String serverId, Logger logger, BiConsumer<UUID, String> remoteApplier) {
+        this.transport = transport;
+        this.serverId = serverId;
+        this.logger = logger;
+        this.remoteApplier = remoteApplier;
+    }
+
+    public void start() {
+        transport.setReceiver(this::receive);
+    }
+
+    public void close() {
+        transport.close();
+    }
+
+    /**
+     * Runs an action while holding the lock that guards writes, e.g. to capture {@code pronounsData}
+     * and {@link #exportVersions()} as one consistent pair.
+     */
+    public synchronized <T> T underLock(Supplier<T> action) {
+        return action.get();
+    }
+
+    public synchronized byte[] exportVersions() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(PROTOCOL_VERSION);
+            out.writeInt(versions.size());
+            for (Map.Entry<UUID, VersionedEntry> entry : versions.entrySet()) {
+                VersionedEntry value = entry.getValue();
+                writeEvent(out, new SyncEvent(entry.getKey(), value.writer(), value.version(), value.vector(), value.style()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Restores versions saved by {@link #exportVersions()}. Entries already known in memory are newer,
+     * so they keep their value and only take the pointwise maximum of both vectors.
+     */
+    public synchronized void importVersions(byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (in.readByte() != PROTOCOL_VERSION) {
+                logger.warning("Ignoring pronouns sync versions saved by an unknown format");
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                SyncEvent saved = readEvent(in);
+                VersionedEntry current = versions.get(saved.uuid());
+                if (current == null) {
+                    versions.put(saved.uuid(), new VersionedEntry(saved.vector(), saved.origin(), saved.version(), saved.style()));
+                } else {
+                    Map<String, Long> merged = new HashMap<>(current.vector());
+                    saved.vector().forEach((node, version) -> merged.merge(node, version, Math::max));
+                    versions.put(saved.uuid(), new VersionedEntry(merged, current.writer(), current.version(), current.style()));
+                }
+                for (long version : saved.vector().values()) {
+                    clock = Math.max(clock, version);
+                }
+            }
+        }
+    }
+
+    /**
+     * Performs a local write and broadcasts the style it returns. A {@code null} style means the
+     * pronouns were removed.
+     */
+    public void publish(UUID uuid, Supplier<String> write) {
+        SyncEvent event;
+        synchronized (this) {
+            event = recordLocal(uuid, write.get());
+        }
+        send(event);
+    }
+
+    /**
+     * Performs a local removal and broadcasts it only if the removal reports that an entry existed.
+     */
+    public boolean publishRemoval(UUID uuid, BooleanSupplier remove) {
+        SyncEvent event;
+        synchronized (this) {
+            if (!remove.getAsBoolean()) {
+                return false;
+            }
+            event = recordLocal(uuid, null);
+        }
+        send(event);
+        return true;
+    }
+
+    private SyncEvent recordLocal(UUID uuid, String style) {
+        clock = Math.max(clock + 1, System.currentTimeMillis());
+        VersionedEntry current = versions.get(uuid);
+        Map<String, Long> vector = current == null ? new HashMap<>() : new HashMap<>(current.vector());
+        vector.put(serverId, clock);
+        versions.put(uuid, new VersionedEntry(vector, serverId, clock, style));
+        return new SyncEvent(uuid, serverId, clock, vector, style);
+    }
+
+    /**
+     * Asks the other servers for their latest entry for a player, so changes missed while this
+     * server could not receive messages are applied.
+     */
+    public void requestLatest(UUID uuid) {
+        Map<String, Long> known;
+        synchronized (this) {
+            VersionedEntry current = versions.get(uuid);
+            known = current == null ? Map.of() : new HashMap<>(current.vector());
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(PROTOCOL_VERSION);
+            out.writeByte(TYPE_REQUEST);
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+            out.writeUTF(serverId);
+            writeVector(out, known);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Could not encode pronouns sync request", e);
+            return;
+        }
+        transport.send(bytes.toByteArray());
+    }
+
+    void receive(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            if (in.readByte() != PROTOCOL_VERSION) {
+                return;
+            }
+            byte type = in.readByte();
+            if (type == TYPE_CHANGE) {
+                applyChange(readEvent(in));
+            } else if (type == TYPE_REQUEST) {
+                answerRequest(new UUID(in.readLong(), in.readLong()), in.readUTF(), readVector(in));
+            }
+        } catch (IOException e) {
+            logger.log(Level.FINE, "Ignoring malformed pronouns sync message", e);
+        }
+    }
+
+    private void answerRequest(UUID uuid, String requester, Map<String, Long> known) {
+        if (serverId.equals(requester)) {
+            return;
+        }
+        VersionedEntry current;
+        synchronized (this) {
+            current = versions.get(uuid);
+        }
+        if (current != null && hasUnseenVersion(current.vector(), known)) {
+            send(new SyncEvent(uuid, current.writer(), current.version(), current.vector(), current.style()));
+        }
+    }
+
+    private static boolean hasUnseenVersion(Map<String, Long> vector, Map<String, Long> known) {
+        for (Map.Entry<String, Long> entry : vector.entrySet()) {
+            if (entry.getValue() > known.getOrDefault(entry.getKey(), 0L)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void applyChange(SyncEvent event) {
+        if (serverId.equals(event.origin())) {
+            return;
+        }
+        synchronized (this) {
+            VersionedEntry current = versions.get(event.uuid());
+            boolean apply = current == null || wins(event, current);
+            Map<String, Long> merged = current == null ? new HashMap<>() : new HashMap<>(current.vector());
+            event.vector().forEach((node, version) -> merged.merge(node, version, Math::max));
+            if (apply) {
+                versions.put(event.uuid(), new VersionedEntry(merged, event.origin(), event.version(), event.style()));
+            } else {
+                versions.put(event.uuid(), new VersionedEntry(merged, current.writer(), current.version(), current.style()));
+            }
+            clock = Math.max(clock, event.version());
+            if (apply) {
+                remoteApplier.accept(event.uuid(), event.style());
+            }
+        }
+    }
+
+    /**
+     * A remote event wins if its vector dominates the local one. Concurrent edits are settled
+     * by the higher version, then by origin server id, so every server picks the same winner.
+     */
+    private static boolean wins(SyncEvent event, VersionedEntry current) {
+        boolean remoteAhead = false;
+        boolean localAhead = false;
+        for (Map.Entry<String, Long> entry : event.vector().entrySet()) {
+            long local = current.vector().getOrDefault(entry.getKey(), 0L);
+            if (entry.getValue() > local) remoteAhead = true;
+            else if (entry.getValue() < local) localAhead = true;
+        }
+        for (Map.Entry<String, Long> entry : current.vector().entrySet()) {
+            if (!event.vector().containsKey(entry.getKey()) && entry.getValue() > 0L) localAhead = true;
+        }
+        if (remoteAhead != localAhead) {
+            return remoteAhead;
+        }
+        if (!remoteAhead) {
+            return false;
+        }
+        if (event.version() != current.version()) {
+            return event.version() > current.version();
+        }
+        return event.origin().compareTo(current.writer()) > 0;
+    }
+
+    private void send(SyncEvent event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(PROTOCOL_VERSION);
+            out.writeByte(TYPE_CHANGE);
+            writeEvent(out, event);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Could not encode pronouns sync event", e);
+            return;
+        }
+        transport.send(bytes.toByteArray());
+    }
+
+    private static void writeEvent(DataOutputStream out, SyncEvent event) throws IOException {
+        out.writeLong(event.uuid().getMostSignificantBits());
+        out.writeLong(event.uuid().getLeastSignificantBits());
+        out.writeUTF(event.origin());
+        out.writeLong(event.version());
+        writeVector(out, event.vector());
+        out.writeBoolean(event.style() != null);
+        if (event.style() != null) {
+            out.writeUTF(event.style());
+        }
+    }
+
+    private static SyncEvent readEvent(DataInputStream in) throws IOException {
+        UUID uuid = new UUID(in.readLong(), in.readLong());
+        String origin = in.readUTF();
+        long version = in.readLong();
+        Map<String, Long> vector = readVector(in);
+        String style = in.readBoolean() ? in.readUTF() : null;
+        return new SyncEvent(uuid, origin, version, vector, style);
+    }
+
+    private static void writeVector(DataOutputStream out, Map<String, Long> vector) throws IOException {
+        out.writeShort(vector.size());
+        for (Map.Entry<String, Long> entry : vector.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeLong(entry.getValue());
+        }
+    }
+
+    private static Map<String, Long> readVector(DataInputStream in) throws IOException {
+        int size = in.readUnsignedShort();
+        Map<String, Long> vector = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            vector.put(in.readUTF(), in.readLong());
+        }
+        return vector;
+    }
+
+    private record SyncEvent(UUID uuid, String origin, long version, Map<String, Long> vector, String style) {}
+
+    private record VersionedEntry(Map<String, Long> vector, String writer, long version, String style) {}
+}
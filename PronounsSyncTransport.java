@@ -0,0 +1,22 @@
+package com.quietterminal.pronounsplugin;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries encoded pronoun change events between servers. Implementations only move bytes;
+ * encoding and conflict resolution live in {@link PronounsSync}.
+ */
+public interface PronounsSyncTransport {
+
+    /**
+     * Broadcasts a payload to every other server on the network.
+     */
+    void send(byte[] payload);
+
+    /**
+     * Sets the callback invoked for every payload received from another server.
+     */
+    void setReceiver(Consumer<byte[]> receiver);
+
+    void close();
+}
@@ -0,0 +1,119 @@
+package com.quietterminal.pronounsplugin;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Compares {@link ColorCodes} with the chained {@code replace}/{@code replaceAll} methods it
+ * replaced: first that outputs match, then the time per call. Run from the repository root with:
+ * <pre>
+ * javac -encoding UTF-8 -d out ColorCodes.java bench/ColorCodesBenchmark.java
+ * java -cp out com.quietterminal.pronounsplugin.ColorCodesBenchmark
+ * </pre>
+ */
+public class ColorCodesBenchmark {
+    private static final int ITERATIONS = 1_000_000;
+    private static final int ROUNDS = 3;
+    private static volatile int sink;
+
+    public static void main(String[] args) {
+        String message = "&aYour pronouns have been set to: &l[they/them]&r &7ok";
+        String gradient = gradient("they/them/theirs");
+
+        expectSame("legacy to MiniMessage, lowercase codes", ColorCodesBenchmark::oldLegacyToMiniMessage, ColorCodes::legacyToMiniMessage, message);
+        expectSame("legacy to MiniMessage, literal &", ColorCodesBenchmark::oldLegacyToMiniMessage, ColorCodes::legacyToMiniMessage, "rock & roll");
+        expectSame("legacy to MiniMessage, uppercase codes", ColorCodesBenchmark::oldLegacyToMiniMessage, ColorCodes::legacyToMiniMessage, "&AHi");
+        expectSame("translate &, lowercase codes", ColorCodesBenchmark::oldTranslateAmpersand, ColorCodes::translateAmpersand, message);
+        expectSame("translate &, uppercase codes", ColorCodesBenchmark::oldTranslateAmpersand, ColorCodes::translateAmpersand, "&AHi");
+        expectSame("strip, lowercase codes", ColorCodesBenchmark::oldStrip, ColorCodes::strip, "§aHello §lworld§r");
+        expectSame("strip, §x hex runs", ColorCodesBenchmark::oldStrip, ColorCodes::strip, gradient);
+        expectSame("strip, trailing §", ColorCodesBenchmark::oldStrip, ColorCodes::strip, "§athey/them§");
+        expectSame("strip, incomplete §x run", ColorCodesBenchmark::oldStrip, ColorCodes::strip, "§x§a§bthey");
+
+        // Intended differences: a literal & is no longer turned into §, and uppercase codes are stripped.
+        expectDifferent("translate &, literal &", ColorCodesBenchmark::oldTranslateAmpersand, ColorCodes::translateAmpersand, "rock & roll");
+        expectDifferent("strip, uppercase codes", ColorCodesBenchmark::oldStrip, ColorCodes::strip, "§AHi §LBold");
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            System.out.println("Round " + round + " (ns/op, old -> new)");
+            time("legacy to MiniMessage", ColorCodesBenchmark::oldLegacyToMiniMessage, ColorCodes::legacyToMiniMessage, message);
+            time("translate &", ColorCodesBenchmark::oldTranslateAmpersand, ColorCodes::translateAmpersand, message);
+            time("strip gradient", ColorCodesBenchmark::oldStrip, ColorCodes::strip, gradient);
+        }
+    }
+
+    private static String oldLegacyToMiniMessage(String message) {
+        return message
+                .replace("&0", "<black>")
+                .replace("&1", "<dark_blue>")
+                .replace("&2", "<dark_green>")
+                .replace("&3", "<dark_aqua>")
+                .replace("&4", "<dark_red>")
+                .replace("&5", "<dark_purple>")
+                .replace("&6", "<gold>")
+                .replace("&7", "<gray>")
+                .replace("&8", "<dark_gray>")
+                .replace("&9", "<blue>")
+                .replace("&a", "<green>")
+                .replace("&b", "<aqua>")
+                .replace("&c", "<red>")
+                .replace("&d", "<light_purple>")
+                .replace("&e", "<yellow>")
+                .replace("&f", "<white>")
+                .replace("&k", "<obf>")
+                .replace("&l", "<b>")
+                .replace("&m", "<st>")
+                .replace("&n", "<u>")
+                .replace("&o", "<i>")
+                .replace("&r", "<reset>");
+    }
+
+    private static String oldTranslateAmpersand(String message) {
+        return message.replace('&', '§');
+    }
+
+    private static String oldStrip(String text) {
+        text = text.replaceAll("§x(§[0-9a-f]){6}", "");
+        text = text.replaceAll("§[0-9a-fk-or]", "");
+        return text;
+    }
+
+    private static String gradient(String text) {
+        StringBuilder result = new StringBuilder();
+        for (char c : text.toCharArray()) {
+            result.append("§x§a§b§1§2§f§0").append(c);
+        }
+        return result.append("§r").toString();
+    }
+
+    private static void expectSame(String name, UnaryOperator<String> oldMethod, UnaryOperator<String> newMethod, String input) {
+        String expected = oldMethod.apply(input);
+        String actual = newMethod.apply(input);
+        if (!expected.equals(actual)) {
+            throw new IllegalStateException(name + ": expected '" + expected + "' but got '" + actual + "'");
+        }
+        System.out.println("same      " + name);
+    }
+
+    private static void expectDifferent(String name, UnaryOperator<String> oldMethod, UnaryOperator<String> newMethod, String input) {
+        String before = oldMethod.apply(input);
+        String after = newMethod.apply(input);
+        if (before.equals(after)) {
+            throw new IllegalStateException(name + ": expected a difference but both gave '" + after + "'");
+        }
+        System.out.println("different " + name + ": '" + before + "' -> '" + after + "'");
+    }
+
+    private static void time(String name, UnaryOperator<String> oldMethod, UnaryOperator<String> newMethod, String input) {
+        long oldNanos = measure(oldMethod, input);
+        long newNanos = measure(newMethod, input);
+        System.out.printf("  %-22s %6d -> %6d%n", name, oldNanos / ITERATIONS, newNanos / ITERATIONS);
+    }
+
+    private static long measure(UnaryOperator<String> method, String input) {
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += method.apply(input).length();
+        }
+        return System.nanoTime() - start;
+    }
+}
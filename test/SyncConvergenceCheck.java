@@ -0,0 +1,161 @@
+package com.quietterminal.pronounsplugin;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Wires several {@link PronounsSync} instances to one {@link LoopbackSyncTransport.Hub} and checks
+ * that they converge. Needs no server; run from the repository root with:
+ * <pre>
+ * javac -d out PronounsSync.java PronounsSyncTransport.java LoopbackSyncTransport.java test/SyncConvergenceCheck.java
+ * java -cp out com.quietterminal.pronounsplugin.SyncConvergenceCheck
+ * </pre>
+ */
+public class SyncConvergenceCheck {
+    private static final Logger LOGGER = Logger.getLogger("SyncConvergenceCheck");
+
+    public static void main(String[] args) {
+        concurrentWritesConverge(false);
+        concurrentWritesConverge(true);
+        removalsPropagate();
+        lateServerCatchesUp();
+        restartedServerKeepsNewerValue();
+        upToDateRequestGetsNoAnswers();
+        System.out.println("All sync checks passed");
+    }
+
+    private static void concurrentWritesConverge(boolean reversed) {
+        LoopbackSyncTransport.Hub hub = new LoopbackSyncTransport.Hub();
+        Node a = new Node(hub, "a");
+        Node b = new Node(hub, "b");
+        Node c = new Node(hub, "c");
+        UUID uuid = UUID.randomUUID();
+        hub.hold();
+        a.set(uuid, "RED:she/her");
+        b.set(uuid, "BLUE:they/them");
+        hub.release(reversed);
+        String winner = a.data.get(uuid);
+        check(winner != null, "concurrent writes left no value");
+        for (Node node : List.of(a, b, c)) {
+            check(winner.equals(node.data.get(uuid)), "server " + node.id + " did not converge (reversed=" + reversed + ")");
+        }
+    }
+
+    private static void removalsPropagate() {
+        LoopbackSyncTransport.Hub hub = new LoopbackSyncTransport.Hub();
+        Node a = new Node(hub, "a");
+        Node b = new Node(hub, "b");
+        Node c = new Node(hub, "c");
+        UUID uuid = UUID.randomUUID();
+        a.set(uuid, "GOLD:he/him");
+        check("GOLD:he/him".equals(c.data.get(uuid)), "set did not propagate");
+        b.set(uuid, null);
+        for (Node node : List.of(a, b, c)) {
+            check(!node.data.containsKey(uuid), "removal did not reach server " + node.id);
+        }
+    }
+
+    private static void lateServerCatchesUp() {
+        LoopbackSyncTransport.Hub hub = new LoopbackSyncTransport.Hub();
+        Node a = new Node(hub, "a");
+        Node b = new Node(hub, "b");
+        UUID uuid = UUID.randomUUID();
+        a.set(uuid, "AQUA:xe/xem");
+        Node late = new Node(hub, "late");
+        check(!late.data.containsKey(uuid), "late server should start without the change");
+        late.sync.requestLatest(uuid);
+        check("AQUA:xe/xem".equals(late.data.get(uuid)), "late server did not catch up");
+        check(Objects.equals(a.data.get(uuid), b.data.get(uuid)), "servers drifted after catch-up");
+    }
+
+    private static void restartedServerKeepsNewerValue() {
+        LoopbackSyncTransport.Hub hub = new LoopbackSyncTransport.Hub();
+        Node a = new Node(hub, "a");
+        Node b = new Node(hub, "b");
+        Node c = new Node(hub, "c");
+        UUID uuid = UUID.randomUUID();
+        a.set(uuid, "RED:she/her");
+        Node.Saved staleDiskOfB = b.stop();
+        a.set(uuid, "BLUE:they/them");
+        a.stop();
+
+        Node restartedC = new Node(hub, "c", c.stop());
+        Node restartedB = new Node(hub, "b", staleDiskOfB);
+        check("RED:she/her".equals(restartedB.data.get(uuid)), "b should restart from its stale file");
+
+        restartedC.sync.requestLatest(uuid);
+        check("BLUE:they/them".equals(restartedC.data.get(uuid)), "restarted server was rolled back by an older answer");
+        restartedB.sync.requestLatest(uuid);
+        check("BLUE:they/them".equals(restartedB.data.get(uuid)), "stale server did not catch up after restart");
+    }
+
+    private static void upToDateRequestGetsNoAnswers() {
+        LoopbackSyncTransport.Hub hub = new LoopbackSyncTransport.Hub();
+        Node a = new Node(hub, "a");
+        Node b = new Node(hub, "b");
+        Node c = new Node(hub, "c");
+        UUID uuid = UUID.randomUUID();
+        a.set(uuid, "GREEN:fae/faer");
+        int before = hub.messagesSent();
+        c.sync.requestLatest(uuid);
+        check(hub.messagesSent() == before + 1, "peers answered a request from an up-to-date server");
+        check("GREEN:fae/faer".equals(b.data.get(uuid)), "b lost the value");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+
+    private static class Node {
+        final String id;
+        final Map<UUID, String> data = new HashMap<>();
+        final PronounsSync sync;
+
+        Node(LoopbackSyncTransport.Hub hub, String id) {
+            this(hub, id, new Saved(Map.of(), null));
+        }
+
+        Node(LoopbackSyncTransport.Hub hub, String id, Saved saved) {
+            this.id = id;
+            this.data.putAll(saved.data());
+            this.sync = new PronounsSync(hub.connect(), id, LOGGER, (uuid, style) -> apply(uuid, style));
+            if (saved.versions() != null) {
+                try {
+                    this.sync.importVersions(saved.versions());
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            this.sync.start();
+        }
+
+        Saved stop() {
+            sync.close();
+            return sync.underLock(() -> new Saved(new HashMap<>(data), sync.exportVersions()));
+        }
+
+        void set(UUID uuid, String style) {
+            sync.publish(uuid, () -> {
+                apply(uuid, style);
+                return style;
+            });
+        }
+
+        record Saved(Map<UUID, String> data, byte[] versions) {}
+
+        private void apply(UUID uuid, String style) {
+            if (style == null) {
+                data.remove(uuid);
+            } else {
+                data.put(uuid, style);
+            }
+        }
+    }
+}